@@ -13,10 +13,16 @@ Date:           	By:             			Description:
 10/02/2024      	Hatulan    					Modification of cancel button and O.o.S.
 												message condition
 10/02/2024     		Hatulan        				Javadoc and single-line documentation added
+10/19/2026     		agent          				Sales recorded to the columnar sale history
+10/19/2026     		agent          				End-of-day reconciliation and register
+												balance display fix
 ============================================================================================
 */
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 
 /**
@@ -31,6 +37,11 @@ public class FruitJuiceMethod {
     private static DispenserType mango;
     private static DispenserType punch;
     private static CashRegister vendor;
+    private static final Path HISTORY_FILE = Paths.get("sales-history.dat"); // Where sales are recorded
+    private static SalesHistoryWriter history; // Sale history, or null if it could not be opened
+    private static long sessionStartRow; // First sale of this session in the history
+    private static double openingFloat; // Register balance when the machine started
+    private static int[] openingStock; // Dispenser stock when the machine started
     
     private static DecimalFormat df;
 
@@ -56,6 +67,9 @@ public class FruitJuiceMethod {
             continuing = programTerminator(); // Ask if the user wants to continue
         } while (continuing);
 
+        reconcileSession(); // Check the register and stock against this session's sales
+        closeHistory(); // Make sure every sale is on disk
+
         // Thank the user for using the machine
         JOptionPane.showMessageDialog(null, "Thank you for using the Fruit Juice Machine!");
     }
@@ -70,6 +84,18 @@ public class FruitJuiceMethod {
     	punch = new DispenserType(80.00); // Initialize dispenser for punch juice 
     	vendor = new CashRegister(); // Initialize cash register 
     	df = new DecimalFormat("0.00"); // Format for currency
+
+        try {
+            history = SalesHistoryWriter.open(HISTORY_FILE); // Open sale history
+            sessionStartRow = history.getRowCount(); // Sales from here on belong to this session
+        } catch (IOException e) {
+            // Keep selling even if sales cannot be recorded
+            JOptionPane.showMessageDialog(null, "Sale history is unavailable: " + e.getMessage());
+        }
+
+        // Remember the starting float and stock for the end-of-day reconciliation
+        openingFloat = vendor.getCurrentBalance();
+        openingStock = new int[] {apple.getNoOfItems(), orange.getNoOfItems(), mango.getNoOfItems(), punch.getNoOfItems()};
     }
     
     /**
@@ -182,8 +208,79 @@ public class FruitJuiceMethod {
         double change = returnChange(cash, actualCost); // Calculate change to return
         JOptionPane.showMessageDialog(null, "Your change is: Php. " + df.format(change)); // Display change
 
-        double currentBalance = vendor.getCurrentBalance() - change; // Get current balance in register
+        double currentBalance = vendor.getCurrentBalance(); // Get current balance in register
         JOptionPane.showMessageDialog(null, "Current balance in register: Php. " + df.format(currentBalance)); // Display current balance
+
+        recordSale(choice, count, juice.getCost(), cash, change, currentBalance); // Save sale to history
+    }
+
+    /**
+     * Records a completed sale in the sale history.
+     * 
+     * Written by: agent
+     * 
+     * @param choice the user's choice of juice ID
+     * @param count the number of items sold
+     * @param cost the cost of each item
+     * @param cash the cash amount provided by the user
+     * @param change the change returned to the user
+     * @param balance the register balance after the sale
+     */
+    private static void recordSale(int choice, int count, double cost, double cash, double change, double balance) {
+        if (history == null) {
+            return; // Sale history is unavailable
+        }
+
+        try {
+            history.append(choice, count, cost, cash, change, balance);
+            history.flush(); // Keep the file current in case the machine is switched off
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "This sale could not be recorded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reconciles the register and dispensers against the sales recorded in this session
+     * and shows a report if anything is out of balance.
+     * 
+     * Written by: agent
+     */
+    private static void reconcileSession() {
+        if (history == null) {
+            return; // Sale history is unavailable
+        }
+
+        try {
+            history.flush(); // Make every sale visible to the reader
+
+            try (SalesHistoryStore store = SalesHistoryStore.open(HISTORY_FILE)) {
+                DispenserType[] dispensers = {apple, orange, mango, punch};
+                ReconciliationReport report = new SalesReconciliation(store).reconcile(sessionStartRow, openingFloat, openingStock, vendor, dispensers);
+
+                if (!report.isBalanced()) {
+                    JOptionPane.showMessageDialog(null, "End-of-day reconciliation found discrepancies:\n" + report); // Display report
+                }
+            }
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "End-of-day reconciliation could not be run: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the sale history, writing any sales that are still pending.
+     * 
+     * Written by: agent
+     */
+    private static void closeHistory() {
+        if (history == null) {
+            return; // Sale history is unavailable
+        }
+
+        try {
+            history.close();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Sale history could not be saved: " + e.getMessage());
+        }
     }
 
     /**
@@ -0,0 +1,198 @@
+/*
+============================================================================================
+FILE : ReconciliationReport.java
+AUTHOR : agent
+DESCRIPTION : Result of reconciling the register and dispensers against the sale history.
+COPYRIGHT : 2026
+REVISION HISTORY
+Date:           By:             		Description:
+10/19/2026      agent          			Reconciliation report built
+============================================================================================
+*/
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ReconciliationReport class holds the outcome of an end-of-day reconciliation:
+ * the register float and dispenser stock expected from the sale history, the values
+ * actually found, and every individual sale that does not add up.
+ */
+public class ReconciliationReport {
+    private final long expectedFloatCents; // Register float expected from the history
+    private final long actualFloatCents; // Register float actually found
+    private final int[] expectedStock; // Stock expected per dispenser
+    private final int[] actualStock; // Stock actually found per dispenser
+    private final List<Discrepancy> discrepancies; // Sales that do not add up, in history order
+
+    /**
+     * Constructor that sets every part of the report.
+     *
+     * Written by: agent
+     *
+     * @param expectedFloatCents the register float expected from the history, in centavos
+     * @param actualFloatCents the register float actually found, in centavos
+     * @param expectedStock the stock expected per dispenser
+     * @param actualStock the stock actually found per dispenser
+     * @param discrepancies the sales that do not add up, in history order
+     */
+    ReconciliationReport(long expectedFloatCents, long actualFloatCents, int[] expectedStock, int[] actualStock, List<Discrepancy> discrepancies) {
+        this.expectedFloatCents = expectedFloatCents;
+        this.actualFloatCents = actualFloatCents;
+        this.expectedStock = expectedStock;
+        this.actualStock = actualStock;
+        this.discrepancies = Collections.unmodifiableList(discrepancies);
+    }
+
+    /**
+     * Gets the register float expected from the sale history.
+     *
+     * Written by: agent
+     *
+     * @return the expected float
+     */
+    public double getExpectedFloat() {
+        return expectedFloatCents / 100.0; // Convert centavos to pesos
+    }
+
+    /**
+     * Gets the register float actually found.
+     *
+     * Written by: agent
+     *
+     * @return the actual float
+     */
+    public double getActualFloat() {
+        return actualFloatCents / 100.0; // Convert centavos to pesos
+    }
+
+    /**
+     * Gets the stock expected in a dispenser from the sale history.
+     *
+     * Written by: agent
+     *
+     * @param dispenser the dispenser index
+     * @return the expected number of items
+     */
+    public int getExpectedStock(int dispenser) {
+        return expectedStock[dispenser];
+    }
+
+    /**
+     * Gets the stock actually found in a dispenser.
+     *
+     * Written by: agent
+     *
+     * @param dispenser the dispenser index
+     * @return the actual number of items
+     */
+    public int getActualStock(int dispenser) {
+        return actualStock[dispenser];
+    }
+
+    /**
+     * Gets the sales that do not add up, in the order they were recorded.
+     *
+     * Written by: agent
+     *
+     * @return the discrepancies found
+     */
+    public List<Discrepancy> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    /**
+     * Verifies if the register, every dispenser and every sale add up.
+     *
+     * Written by: agent
+     *
+     * @return true if nothing is out of balance, false otherwise
+     */
+    public boolean isBalanced() {
+        if (expectedFloatCents != actualFloatCents || !discrepancies.isEmpty()) {
+            return false; // Register or a sale is off
+        }
+        for (int d = 0; d < expectedStock.length; d++) {
+            if (expectedStock[d] != actualStock[d]) {
+                return false; // Dispenser stock is off
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Describes the report, listing everything that is out of balance.
+     *
+     * Written by: agent
+     *
+     * @return the report text
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Register float: expected Php. %.2f, found Php. %.2f%n", getExpectedFloat(), getActualFloat()));
+        for (int d = 0; d < expectedStock.length; d++) {
+            text.append(String.format("Dispenser %d stock: expected %d, found %d%n", d + 1, expectedStock[d], actualStock[d]));
+        }
+        text.append(discrepancies.size()).append(" sale(s) out of balance");
+        for (Discrepancy discrepancy : discrepancies) {
+            text.append(String.format("%n  %s", discrepancy));
+        }
+        return text.toString();
+    }
+
+    /**
+     * The Discrepancy class identifies a single sale that does not add up and why.
+     */
+    public static class Discrepancy {
+        private final long row; // Row number of the sale in the history
+        private final String reason; // What does not add up
+
+        /**
+         * Constructor that sets the sale and the reason.
+         *
+         * Written by: agent
+         *
+         * @param row the row number of the sale in the history
+         * @param reason what does not add up
+         */
+        Discrepancy(long row, String reason) {
+            this.row = row;
+            this.reason = reason;
+        }
+
+        /**
+         * Gets the row number of the sale in the history.
+         *
+         * Written by: agent
+         *
+         * @return the row number
+         */
+        public long getRow() {
+            return row;
+        }
+
+        /**
+         * Gets what does not add up about the sale.
+         *
+         * Written by: agent
+         *
+         * @return the reason
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Describes the discrepancy.
+         *
+         * Written by: agent
+         *
+         * @return the row number followed by the reason
+         */
+        @Override
+        public String toString() {
+            return "Sale #" + row + ": " + reason;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*
+============================================================================================
+FILE : SalesHistoryQuery.java
+AUTHOR : agent
+DESCRIPTION : Aggregation queries over the columnar sale history.
+COPYRIGHT : 2026
+REVISION HISTORY
+Date:           By:             		Description:
+10/19/2026      agent          			Revenue, quantity and change queries built
+============================================================================================
+*/
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The SalesHistoryQuery class runs reporting queries over a SalesHistoryStore.
+ * Each query is a fork-join task that splits the store's chunks between worker threads,
+ * scans every chunk with a plain loop over its primitive columns, and merges the partial
+ * results. Zone maps are checked first so that chunks which cannot match are skipped.
+ */
+public class SalesHistoryQuery {
+    private final SalesHistoryStore store; // Sale history to query
+    private final ForkJoinPool pool; // Pool the queries run in
+
+    /**
+     * Constructor that runs queries in the common fork-join pool.
+     *
+     * Written by: agent
+     *
+     * @param store the sale history to query
+     */
+    public SalesHistoryQuery(SalesHistoryStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor that runs queries in the given fork-join pool.
+     *
+     * Written by: agent
+     *
+     * @param store the sale history to query
+     * @param pool the pool to run queries in
+     */
+    public SalesHistoryQuery(SalesHistoryStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the revenue of every product.
+     *
+     * Written by: agent
+     *
+     * @return the revenue of each product, indexed by product ID
+     */
+    public double[] revenueByProduct() {
+        int products = maxProduct() + 1;
+        return pool.invoke(new ChunkTask<>(store.getChunkCount(), new ChunkAggregate<double[]>() {
+            @Override
+            double[] identity() {
+                return new double[products];
+            }
+
+            @Override
+            double[] scan(int chunk) {
+                double[] revenue = new double[products];
+                IntBuffer product = store.productColumn(chunk);
+                IntBuffer quantity = store.quantityColumn(chunk);
+                DoubleBuffer unitCost = store.unitCostColumn(chunk);
+                int rows = store.getRows(chunk);
+                for (int i = 0; i < rows; i++) {
+                    revenue[product.get(i)] += quantity.get(i) * unitCost.get(i);
+                }
+                return revenue;
+            }
+
+            @Override
+            double[] merge(double[] left, double[] right) {
+                for (int p = 0; p < products; p++) {
+                    left[p] += right[p];
+                }
+                return left;
+            }
+        }));
+    }
+
+    /**
+     * Computes the revenue of a single product.
+     *
+     * Written by: agent
+     *
+     * @param productId the ID of the product
+     * @return the revenue of the product
+     */
+    public double revenueForProduct(int productId) {
+        return pool.invoke(new ChunkTask<>(store.getChunkCount(), new ChunkAggregate<Double>() {
+            @Override
+            Double identity() {
+                return 0.0;
+            }
+
+            @Override
+            Double scan(int chunk) {
+                // Skip chunks whose zone map rules the product out
+                if (productId < store.getMinProduct(chunk) || productId > store.getMaxProduct(chunk)) {
+                    return 0.0;
+                }
+
+                IntBuffer product = store.productColumn(chunk);
+                IntBuffer quantity = store.quantityColumn(chunk);
+                DoubleBuffer unitCost = store.unitCostColumn(chunk);
+                int rows = store.getRows(chunk);
+                double revenue = 0;
+
+                if (store.getMinProduct(chunk) == store.getMaxProduct(chunk)) {
+                    // Every sale in the chunk is for this product
+                    for (int i = 0; i < rows; i++) {
+                        revenue += quantity.get(i) * unitCost.get(i);
+                    }
+                } else {
+                    for (int i = 0; i < rows; i++) {
+                        if (product.get(i) == productId) {
+                            revenue += quantity.get(i) * unitCost.get(i);
+                        }
+                    }
+                }
+                return revenue;
+            }
+
+            @Override
+            Double merge(Double left, Double right) {
+                return left + right;
+            }
+        }));
+    }
+
+    /**
+     * Counts how many sales were made for each quantity, across all products.
+     *
+     * Written by: agent
+     *
+     * @return the number of sales of each quantity, indexed by quantity
+     */
+    public long[] quantityHistogram() {
+        return quantityHistogram(-1);
+    }
+
+    /**
+     * Counts how many sales of a product were made for each quantity.
+     *
+     * Written by: agent
+     *
+     * @param productId the ID of the product, or -1 for all products
+     * @return the number of sales of each quantity, indexed by quantity
+     * @throws IllegalArgumentException if productId is negative but not -1
+     */
+    public long[] quantityHistogram(int productId) {
+        if (productId < -1) {
+            throw new IllegalArgumentException("Product ID must not be negative, or -1 for all products.");
+        }
+
+        int bins = maxQuantity() + 1;
+        return pool.invoke(new ChunkTask<>(store.getChunkCount(), new ChunkAggregate<long[]>() {
+            @Override
+            long[] identity() {
+                return new long[bins];
+            }
+
+            @Override
+            long[] scan(int chunk) {
+                long[] histogram = new long[bins];
+                IntBuffer quantity = store.quantityColumn(chunk);
+                int rows = store.getRows(chunk);
+
+                if (productId == -1 || (store.getMinProduct(chunk) == productId && store.getMaxProduct(chunk) == productId)) {
+                    // No per-sale product check needed
+                    for (int i = 0; i < rows; i++) {
+                        histogram[quantity.get(i)]++;
+                    }
+                } else if (productId >= store.getMinProduct(chunk) && productId <= store.getMaxProduct(chunk)) {
+                    IntBuffer product = store.productColumn(chunk);
+                    for (int i = 0; i < rows; i++) {
+                        if (product.get(i) == productId) {
+                            histogram[quantity.get(i)]++;
+                        }
+                    }
+                }
+                return histogram;
+            }
+
+            @Override
+            long[] merge(long[] left, long[] right) {
+                for (int q = 0; q < bins; q++) {
+                    left[q] += right[q];
+                }
+                return left;
+            }
+        }));
+    }
+
+    /**
+     * Computes the total change paid out to customers.
+     *
+     * Written by: agent
+     *
+     * @return the total change paid
+     */
+    public double totalChangePaid() {
+        return pool.invoke(new ChunkTask<>(store.getChunkCount(), new ChunkAggregate<Double>() {
+            @Override
+            Double identity() {
+                return 0.0;
+            }
+
+            @Override
+            Double scan(int chunk) {
+                // Skip chunks where only exact amounts were paid; change can be negative
+                // when a payment prompt was cancelled, so both bounds must be zero
+                if (store.getMinChange(chunk) == 0 && store.getMaxChange(chunk) == 0) {
+                    return 0.0;
+                }
+
+                DoubleBuffer change = store.changeColumn(chunk);
+                int rows = store.getRows(chunk);
+                double total = 0;
+                for (int i = 0; i < rows; i++) {
+                    total += change.get(i);
+                }
+                return total;
+            }
+
+            @Override
+            Double merge(Double left, Double right) {
+                return left + right;
+            }
+        }));
+    }
+
+    /**
+     * Finds the largest product ID in the store from the chunk zone maps.
+     *
+     * Written by: agent
+     *
+     * @return the largest product ID, or -1 if the store is empty
+     */
+    private int maxProduct() {
+        int max = -1;
+        for (int c = 0; c < store.getChunkCount(); c++) {
+            max = Math.max(max, store.getMaxProduct(c));
+        }
+        return max;
+    }
+
+    /**
+     * Finds the largest quantity in the store from the chunk zone maps.
+     *
+     * Written by: agent
+     *
+     * @return the largest quantity, or -1 if the store is empty
+     */
+    private int maxQuantity() {
+        int max = -1;
+        for (int c = 0; c < store.getChunkCount(); c++) {
+            max = Math.max(max, store.getMaxQuantity(c));
+        }
+        return max;
+    }
+
+    /**
+     * The ChunkAggregate class describes one query: how to scan a single chunk and how to
+     * combine the partial results of several chunks.
+     *
+     * @param <R> the type of the partial result
+     */
+    abstract static class ChunkAggregate<R> {
+        /**
+         * Gets the result of an empty range of chunks.
+         *
+         * @return a result that leaves any other result unchanged when merged
+         */
+        abstract R identity();
+
+        /**
+         * Computes the result of a single chunk.
+         *
+         * @param chunk the chunk index
+         * @return the chunk's result
+         */
+        abstract R scan(int chunk);
+
+        /**
+         * Combines the results of two ranges of chunks.
+         *
+         * @param left the result of the lower range, which may be reused
+         * @param right the result of the upper range
+         * @return the combined result
+         */
+        abstract R merge(R left, R right);
+    }
+
+    /**
+     * The ChunkTask class splits a range of chunks in half until a single chunk is left,
+     * scans it, and merges the results of both halves on the way back up.
+     *
+     * @param <R> the type of the partial result
+     */
+    static final class ChunkTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final ChunkAggregate<R> aggregate; // Query being run
+        private final int from; // First chunk of the range
+        private final int to; // One past the last chunk of the range
+
+        /**
+         * Constructor that runs a query over every chunk of a store.
+         *
+         * Written by: agent
+         *
+         * @param chunkCount the number of chunks in the store
+         * @param aggregate the query to run
+         */
+        ChunkTask(int chunkCount, ChunkAggregate<R> aggregate) {
+            this(aggregate, 0, chunkCount);
+        }
+
+        /**
+         * Constructor that runs a query over a range of chunks.
+         *
+         * Written by: agent
+         *
+         * @param aggregate the query to run
+         * @param from the first chunk of the range
+         * @param to one past the last chunk of the range
+         */
+        private ChunkTask(ChunkAggregate<R> aggregate, int from, int to) {
+            this.aggregate = aggregate;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Scans a single chunk directly, or forks the lower half of the range and
+         * processes the upper half in this thread.
+         *
+         * Written by: agent
+         *
+         * @return the result of the whole range
+         */
+        @Override
+        protected R compute() {
+            if (to - from == 0) {
+                return aggregate.identity();
+            }
+            if (to - from == 1) {
+                return aggregate.scan(from);
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkTask<R> left = new ChunkTask<>(aggregate, from, middle);
+            left.fork();
+            R right = new ChunkTask<>(aggregate, middle, to).compute();
+            return aggregate.merge(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,484 @@
+/*
+============================================================================================
+FILE : SalesHistoryStore.java
+AUTHOR : agent
+DESCRIPTION : Read-only, memory-mapped view of the columnar sale history file.
+COPYRIGHT : 2026
+REVISION HISTORY
+Date:           By:             		Description:
+10/19/2026      agent          			Columnar sale history format and reader built
+============================================================================================
+*/
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The SalesHistoryStore class gives read access to a sale history file written by
+ * SalesHistoryWriter. Every sale is split into six primitive columns (product, quantity,
+ * unit cost, cash tendered, change and register balance after the sale), which are stored
+ * in fixed-size chunks. Each chunk starts with min/max zone maps for its columns so that
+ * queries can skip chunks without touching their data. Chunks are memory-mapped, so the
+ * history is never loaded onto the heap as objects.
+ *
+ * File layout (little-endian):
+ * <pre>
+ * header : magic, version, chunk rows, chunk count (ints), row count (long), padding
+ * chunk  : rows, padding, min/max product, min/max quantity (ints),
+ *          min/max unit cost, cash, change, balance (doubles),
+ *          product[CHUNK_ROWS], quantity[CHUNK_ROWS] (ints),
+ *          unitCost[CHUNK_ROWS], cash[CHUNK_ROWS], change[CHUNK_ROWS], balance[CHUNK_ROWS] (doubles)
+ * </pre>
+ */
+public class SalesHistoryStore implements Closeable {
+    static final int MAGIC = 0x46524a48; // "FRJH"
+    static final int VERSION = 1;
+    static final int CHUNK_ROWS = 65536; // Number of sales held by one chunk
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_BYTES = 32;
+    static final int CHUNK_COUNT_OFFSET = 12; // Position of the chunk count in the header
+    static final int ROW_COUNT_OFFSET = 16; // Position of the row count in the header
+
+    // Zone map positions, relative to the start of a chunk
+    static final int ROWS_OFFSET = 0;
+    static final int MIN_PRODUCT_OFFSET = 8;
+    static final int MAX_PRODUCT_OFFSET = 12;
+    static final int MIN_QUANTITY_OFFSET = 16;
+    static final int MAX_QUANTITY_OFFSET = 20;
+    static final int MIN_UNIT_COST_OFFSET = 24;
+    static final int MAX_UNIT_COST_OFFSET = 32;
+    static final int MIN_CASH_OFFSET = 40;
+    static final int MAX_CASH_OFFSET = 48;
+    static final int MIN_CHANGE_OFFSET = 56;
+    static final int MAX_CHANGE_OFFSET = 64;
+    static final int MIN_BALANCE_OFFSET = 72;
+    static final int MAX_BALANCE_OFFSET = 80;
+    static final int ZONE_BYTES = 88;
+
+    // Column positions, relative to the start of a chunk
+    static final int PRODUCT_OFFSET = ZONE_BYTES;
+    static final int QUANTITY_OFFSET = PRODUCT_OFFSET + Integer.BYTES * CHUNK_ROWS;
+    static final int UNIT_COST_OFFSET = QUANTITY_OFFSET + Integer.BYTES * CHUNK_ROWS;
+    static final int CASH_OFFSET = UNIT_COST_OFFSET + Double.BYTES * CHUNK_ROWS;
+    static final int CHANGE_OFFSET = CASH_OFFSET + Double.BYTES * CHUNK_ROWS;
+    static final int BALANCE_OFFSET = CHANGE_OFFSET + Double.BYTES * CHUNK_ROWS;
+    static final int CHUNK_BYTES = BALANCE_OFFSET + Double.BYTES * CHUNK_ROWS;
+
+    private final FileChannel channel; // Channel the chunks were mapped from
+    private final MappedByteBuffer[] chunks; // One mapping per chunk
+    private final long rowCount; // Total number of sales in the file
+
+    /**
+     * Opens a sale history file and maps all of its chunks for reading.
+     *
+     * Written by: agent
+     *
+     * @param file the sale history file to open
+     * @return the opened store
+     * @throws IOException if the file cannot be read or is not a sale history file
+     */
+    public static SalesHistoryStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new SalesHistoryStore(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close(); // Do not leak the channel on a bad file
+            throw e;
+        }
+    }
+
+    /**
+     * Constructor that validates the header and maps every chunk of the file.
+     *
+     * Written by: agent
+     *
+     * @param channel the channel of the sale history file
+     * @throws IOException if the header or a chunk is invalid, or the chunks cannot be mapped
+     */
+    private SalesHistoryStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer header = readHeader(channel);
+        int chunkCount = header.getInt(CHUNK_COUNT_OFFSET);
+        rowCount = header.getLong(ROW_COUNT_OFFSET);
+
+        chunks = new MappedByteBuffer[chunkCount];
+        long rowsFound = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, chunkOffset(c), CHUNK_BYTES);
+            chunks[c].order(ORDER);
+
+            // Only the last chunk may be partly filled, and no chunk may be empty
+            int rows = getRows(c);
+            if (rows <= 0 || rows > CHUNK_ROWS || (rows < CHUNK_ROWS && c < chunkCount - 1)) {
+                throw new IOException("Sale history file is corrupt.");
+            }
+            rowsFound += rows;
+        }
+
+        if (rowsFound != rowCount) {
+            throw new IOException("Sale history file is corrupt."); // Header disagrees with the chunks
+        }
+    }
+
+    /**
+     * Reads and validates the header of a sale history file.
+     *
+     * Written by: agent
+     *
+     * @param channel the channel of the sale history file
+     * @return the header, positioned for absolute reads
+     * @throws IOException if the header is missing, does not match this format, or counts
+     *         more chunks than the file holds
+     */
+    static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Sale history file is truncated.");
+            }
+        }
+
+        // Check that the file was written with this exact layout
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != CHUNK_ROWS) {
+            throw new IOException("Not a sale history file, or written with an unsupported layout.");
+        }
+
+        // Every chunk the header counts must lie within the file
+        int chunkCount = header.getInt(CHUNK_COUNT_OFFSET);
+        if (chunkCount < 0 || chunkOffset(chunkCount) > channel.size()) {
+            throw new IOException("Sale history file is corrupt.");
+        }
+        return header;
+    }
+
+    /**
+     * Gets the byte position in the file at which a chunk starts.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the file position of the chunk
+     */
+    static long chunkOffset(int chunk) {
+        return HEADER_BYTES + (long) chunk * CHUNK_BYTES;
+    }
+
+    /**
+     * Gets the total number of sales in the store.
+     *
+     * Written by: agent
+     *
+     * @return the number of sales
+     */
+    public long getRowCount() {
+        return rowCount; // Return the total row count
+    }
+
+    /**
+     * Gets the number of chunks in the store.
+     *
+     * Written by: agent
+     *
+     * @return the number of chunks
+     */
+    public int getChunkCount() {
+        return chunks.length; // Return the chunk count
+    }
+
+    /**
+     * Gets the number of sales held by a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the number of sales in the chunk
+     */
+    public int getRows(int chunk) {
+        return chunks[chunk].getInt(ROWS_OFFSET);
+    }
+
+    /**
+     * Gets the row number of the first sale held by a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the row number of the chunk's first sale
+     */
+    public long getFirstRow(int chunk) {
+        return (long) chunk * CHUNK_ROWS; // Every chunk but the last one is full
+    }
+
+    /**
+     * Gets the smallest product in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the smallest product in the chunk
+     */
+    public int getMinProduct(int chunk) {
+        return chunks[chunk].getInt(MIN_PRODUCT_OFFSET);
+    }
+
+    /**
+     * Gets the largest product in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the largest product in the chunk
+     */
+    public int getMaxProduct(int chunk) {
+        return chunks[chunk].getInt(MAX_PRODUCT_OFFSET);
+    }
+
+    /**
+     * Gets the smallest quantity in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the smallest quantity in the chunk
+     */
+    public int getMinQuantity(int chunk) {
+        return chunks[chunk].getInt(MIN_QUANTITY_OFFSET);
+    }
+
+    /**
+     * Gets the largest quantity in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the largest quantity in the chunk
+     */
+    public int getMaxQuantity(int chunk) {
+        return chunks[chunk].getInt(MAX_QUANTITY_OFFSET);
+    }
+
+    /**
+     * Gets the smallest unit cost in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the smallest unit cost in the chunk
+     */
+    public double getMinUnitCost(int chunk) {
+        return chunks[chunk].getDouble(MIN_UNIT_COST_OFFSET);
+    }
+
+    /**
+     * Gets the largest unit cost in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the largest unit cost in the chunk
+     */
+    public double getMaxUnitCost(int chunk) {
+        return chunks[chunk].getDouble(MAX_UNIT_COST_OFFSET);
+    }
+
+    /**
+     * Gets the smallest cash in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the smallest cash in the chunk
+     */
+    public double getMinCash(int chunk) {
+        return chunks[chunk].getDouble(MIN_CASH_OFFSET);
+    }
+
+    /**
+     * Gets the largest cash in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the largest cash in the chunk
+     */
+    public double getMaxCash(int chunk) {
+        return chunks[chunk].getDouble(MAX_CASH_OFFSET);
+    }
+
+    /**
+     * Gets the smallest change in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the smallest change in the chunk
+     */
+    public double getMinChange(int chunk) {
+        return chunks[chunk].getDouble(MIN_CHANGE_OFFSET);
+    }
+
+    /**
+     * Gets the largest change in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the largest change in the chunk
+     */
+    public double getMaxChange(int chunk) {
+        return chunks[chunk].getDouble(MAX_CHANGE_OFFSET);
+    }
+
+    /**
+     * Gets the smallest balance in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the smallest balance in the chunk
+     */
+    public double getMinBalance(int chunk) {
+        return chunks[chunk].getDouble(MIN_BALANCE_OFFSET);
+    }
+
+    /**
+     * Gets the largest balance in a chunk, taken from its zone map.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return the largest balance in the chunk
+     */
+    public double getMaxBalance(int chunk) {
+        return chunks[chunk].getDouble(MAX_BALANCE_OFFSET);
+    }
+
+    /**
+     * Gets the product column of a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return a view over the chunk's product values
+     */
+    public IntBuffer productColumn(int chunk) {
+        return intColumn(chunk, PRODUCT_OFFSET);
+    }
+
+    /**
+     * Gets the quantity column of a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return a view over the chunk's quantity values
+     */
+    public IntBuffer quantityColumn(int chunk) {
+        return intColumn(chunk, QUANTITY_OFFSET);
+    }
+
+    /**
+     * Gets the unit cost column of a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return a view over the chunk's unit cost values
+     */
+    public DoubleBuffer unitCostColumn(int chunk) {
+        return doubleColumn(chunk, UNIT_COST_OFFSET);
+    }
+
+    /**
+     * Gets the cash column of a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return a view over the chunk's cash values
+     */
+    public DoubleBuffer cashColumn(int chunk) {
+        return doubleColumn(chunk, CASH_OFFSET);
+    }
+
+    /**
+     * Gets the change column of a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return a view over the chunk's change values
+     */
+    public DoubleBuffer changeColumn(int chunk) {
+        return doubleColumn(chunk, CHANGE_OFFSET);
+    }
+
+    /**
+     * Gets the balance column of a chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @return a view over the chunk's balance values
+     */
+    public DoubleBuffer balanceColumn(int chunk) {
+        return doubleColumn(chunk, BALANCE_OFFSET);
+    }
+
+    /**
+     * Creates an int view over one column of a chunk, limited to the chunk's rows.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @param offset the position of the column within the chunk
+     * @return the column view
+     */
+    private IntBuffer intColumn(int chunk, int offset) {
+        ByteBuffer view = chunks[chunk].duplicate();
+        view.position(offset);
+        IntBuffer column = view.slice().order(ORDER).asIntBuffer();
+        column.limit(getRows(chunk)); // Hide the unused tail of a partial chunk
+        return column;
+    }
+
+    /**
+     * Creates a double view over one column of a chunk, limited to the chunk's rows.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @param offset the position of the column within the chunk
+     * @return the column view
+     */
+    private DoubleBuffer doubleColumn(int chunk, int offset) {
+        ByteBuffer view = chunks[chunk].duplicate();
+        view.position(offset);
+        DoubleBuffer column = view.slice().order(ORDER).asDoubleBuffer();
+        column.limit(getRows(chunk)); // Hide the unused tail of a partial chunk
+        return column;
+    }
+
+    /**
+     * Closes the underlying file channel. Column views stay readable until they are
+     * garbage collected.
+     *
+     * Written by: agent
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,389 @@
+/*
+============================================================================================
+FILE : SalesHistoryWriter.java
+AUTHOR : agent
+DESCRIPTION : Appends sales to the columnar sale history file.
+COPYRIGHT : 2026
+REVISION HISTORY
+Date:           By:             		Description:
+10/19/2026      agent          			Columnar sale history writer built
+============================================================================================
+*/
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The SalesHistoryWriter class appends sales to a sale history file in the layout read by
+ * SalesHistoryStore. Sales are buffered in primitive arrays for the chunk being filled and
+ * only the rows added since the last flush are written out, so recording a sale stays cheap
+ * no matter how large the history grows.
+ *
+ * The first sale of every chunk grows the file by a whole chunk (about 2.6 MB), because
+ * each column sits at a fixed position inside the chunk and readers map chunks in full.
+ * This is intended. File systems that support sparse files only allocate the parts that
+ * were written; others, such as NTFS, allocate the whole chunk on disk.
+ */
+public class SalesHistoryWriter implements Closeable {
+    private static final int CHUNK_ROWS = SalesHistoryStore.CHUNK_ROWS;
+
+    private final FileChannel channel; // Channel of the sale history file
+    private final ByteBuffer scratch; // Reused buffer for writing column ranges
+
+    // Columns of the chunk being filled
+    private final int[] product = new int[CHUNK_ROWS];
+    private final int[] quantity = new int[CHUNK_ROWS];
+    private final double[] unitCost = new double[CHUNK_ROWS];
+    private final double[] cash = new double[CHUNK_ROWS];
+    private final double[] change = new double[CHUNK_ROWS];
+    private final double[] balance = new double[CHUNK_ROWS];
+
+    // Zone maps of the chunk being filled
+    private int minProduct, maxProduct, minQuantity, maxQuantity;
+    private double minUnitCost, maxUnitCost, minCash, maxCash;
+    private double minChange, maxChange, minBalance, maxBalance;
+
+    private int chunk; // Index of the chunk being filled
+    private int rows; // Number of sales in the chunk being filled
+    private int flushedRows; // Number of those sales already written to the file
+
+    /**
+     * Opens a sale history file for appending, creating it if it does not exist yet.
+     * A partially filled last chunk is loaded back so that new sales continue it.
+     *
+     * Written by: agent
+     *
+     * @param file the sale history file to append to
+     * @return the opened writer
+     * @throws IOException if the file cannot be opened or is not a sale history file
+     */
+    public static SalesHistoryWriter open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new SalesHistoryWriter(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close(); // Do not leak the channel on a bad file
+            throw e;
+        }
+    }
+
+    /**
+     * Constructor that writes a fresh header to an empty file, or resumes after the last
+     * sale of an existing one.
+     *
+     * Written by: agent
+     *
+     * @param channel the channel of the sale history file
+     * @throws IOException if the file cannot be read or written, or is corrupt
+     */
+    private SalesHistoryWriter(FileChannel channel) throws IOException {
+        this.channel = channel;
+        scratch = ByteBuffer.allocateDirect(Double.BYTES * CHUNK_ROWS).order(SalesHistoryStore.ORDER);
+        resetZoneMaps();
+
+        if (channel.size() == 0) {
+            writeHeader(0, 0); // New, empty history
+            return;
+        }
+
+        int chunkCount = SalesHistoryStore.readHeader(channel).getInt(SalesHistoryStore.CHUNK_COUNT_OFFSET);
+        if (chunkCount == 0) {
+            return; // Nothing recorded yet
+        }
+
+        // Continue the last chunk if it still has room, otherwise start a new one
+        int lastRows = readInt(SalesHistoryStore.chunkOffset(chunkCount - 1) + SalesHistoryStore.ROWS_OFFSET);
+        if (lastRows <= 0 || lastRows > CHUNK_ROWS) {
+            throw new IOException("Sale history file is corrupt.");
+        }
+        if (lastRows == CHUNK_ROWS) {
+            chunk = chunkCount;
+        } else {
+            chunk = chunkCount - 1;
+            loadChunk(lastRows);
+        }
+    }
+
+    /**
+     * Records one sale.
+     *
+     * Written by: agent
+     *
+     * @param productId the ID of the juice sold
+     * @param count the number of items sold
+     * @param cost the cost of each item
+     * @param cashIn the cash tendered by the customer
+     * @param changeOut the change returned to the customer
+     * @param balanceAfter the register balance after the sale
+     * @throws IOException if a full chunk cannot be written
+     */
+    public void append(int productId, int count, double cost, double cashIn, double changeOut, double balanceAfter) throws IOException {
+        if (productId < 0 || count < 0) {
+            throw new IllegalArgumentException("Product ID and quantity must not be negative.");
+        }
+
+        if (rows == 0) {
+            reserveChunk(); // First sale of a new chunk
+        }
+
+        // Store the sale in each column
+        product[rows] = productId;
+        quantity[rows] = count;
+        unitCost[rows] = cost;
+        cash[rows] = cashIn;
+        change[rows] = changeOut;
+        balance[rows] = balanceAfter;
+        rows++;
+
+        // Widen the zone maps to cover the sale
+        minProduct = Math.min(minProduct, productId);
+        maxProduct = Math.max(maxProduct, productId);
+        minQuantity = Math.min(minQuantity, count);
+        maxQuantity = Math.max(maxQuantity, count);
+        minUnitCost = Math.min(minUnitCost, cost);
+        maxUnitCost = Math.max(maxUnitCost, cost);
+        minCash = Math.min(minCash, cashIn);
+        maxCash = Math.max(maxCash, cashIn);
+        minChange = Math.min(minChange, changeOut);
+        maxChange = Math.max(maxChange, changeOut);
+        minBalance = Math.min(minBalance, balanceAfter);
+        maxBalance = Math.max(maxBalance, balanceAfter);
+
+        // Seal the chunk once it is full
+        if (rows == CHUNK_ROWS) {
+            flush();
+            chunk++;
+            rows = 0;
+            flushedRows = 0;
+            resetZoneMaps();
+        }
+    }
+
+    /**
+     * Writes the sales recorded since the last flush, together with the chunk's zone maps
+     * and the file header.
+     *
+     * Written by: agent
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException {
+        if (rows == flushedRows) {
+            return; // Nothing new to write
+        }
+
+        long base = SalesHistoryStore.chunkOffset(chunk);
+        int from = flushedRows;
+        int length = rows - flushedRows;
+
+        // Write only the new part of each column
+        scratch.clear();
+        scratch.asIntBuffer().put(product, from, length);
+        writeScratch(base + SalesHistoryStore.PRODUCT_OFFSET + (long) Integer.BYTES * from, Integer.BYTES * length);
+        scratch.asIntBuffer().put(quantity, from, length);
+        writeScratch(base + SalesHistoryStore.QUANTITY_OFFSET + (long) Integer.BYTES * from, Integer.BYTES * length);
+        scratch.asDoubleBuffer().put(unitCost, from, length);
+        writeScratch(base + SalesHistoryStore.UNIT_COST_OFFSET + (long) Double.BYTES * from, Double.BYTES * length);
+        scratch.asDoubleBuffer().put(cash, from, length);
+        writeScratch(base + SalesHistoryStore.CASH_OFFSET + (long) Double.BYTES * from, Double.BYTES * length);
+        scratch.asDoubleBuffer().put(change, from, length);
+        writeScratch(base + SalesHistoryStore.CHANGE_OFFSET + (long) Double.BYTES * from, Double.BYTES * length);
+        scratch.asDoubleBuffer().put(balance, from, length);
+        writeScratch(base + SalesHistoryStore.BALANCE_OFFSET + (long) Double.BYTES * from, Double.BYTES * length);
+
+        // Zone maps and row count of the chunk
+        scratch.clear();
+        scratch.putInt(SalesHistoryStore.ROWS_OFFSET, rows);
+        scratch.putInt(SalesHistoryStore.ROWS_OFFSET + Integer.BYTES, 0); // Padding
+        scratch.putInt(SalesHistoryStore.MIN_PRODUCT_OFFSET, minProduct);
+        scratch.putInt(SalesHistoryStore.MAX_PRODUCT_OFFSET, maxProduct);
+        scratch.putInt(SalesHistoryStore.MIN_QUANTITY_OFFSET, minQuantity);
+        scratch.putInt(SalesHistoryStore.MAX_QUANTITY_OFFSET, maxQuantity);
+        scratch.putDouble(SalesHistoryStore.MIN_UNIT_COST_OFFSET, minUnitCost);
+        scratch.putDouble(SalesHistoryStore.MAX_UNIT_COST_OFFSET, maxUnitCost);
+        scratch.putDouble(SalesHistoryStore.MIN_CASH_OFFSET, minCash);
+        scratch.putDouble(SalesHistoryStore.MAX_CASH_OFFSET, maxCash);
+        scratch.putDouble(SalesHistoryStore.MIN_CHANGE_OFFSET, minChange);
+        scratch.putDouble(SalesHistoryStore.MAX_CHANGE_OFFSET, maxChange);
+        scratch.putDouble(SalesHistoryStore.MIN_BALANCE_OFFSET, minBalance);
+        scratch.putDouble(SalesHistoryStore.MAX_BALANCE_OFFSET, maxBalance);
+        writeScratch(base, SalesHistoryStore.ZONE_BYTES);
+
+        // Header last, so readers never see a chunk count ahead of the data
+        writeHeader(chunk + 1, getRowCount());
+        flushedRows = rows;
+    }
+
+    /**
+     * Gets the total number of sales recorded in the file, including unflushed ones.
+     *
+     * Written by: agent
+     *
+     * @return the number of sales
+     */
+    public long getRowCount() {
+        return (long) chunk * CHUNK_ROWS + rows; // Every chunk before the current one is full
+    }
+
+    /**
+     * Flushes any pending sales and closes the file.
+     *
+     * Written by: agent
+     *
+     * @throws IOException if the file cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Grows the file to cover a whole new chunk so that it can be mapped in full by readers.
+     *
+     * Written by: agent
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void reserveChunk() throws IOException {
+        long end = SalesHistoryStore.chunkOffset(chunk + 1);
+        if (channel.size() < end) {
+            scratch.clear();
+            scratch.put(0, (byte) 0);
+            writeScratch(end - 1, 1); // Extend the file to the end of the chunk
+        }
+    }
+
+    /**
+     * Loads a partially filled chunk back into the column arrays and zone maps.
+     *
+     * Written by: agent
+     *
+     * @param count the number of sales in the chunk
+     * @throws IOException if the chunk cannot be read
+     */
+    private void loadChunk(int count) throws IOException {
+        long base = SalesHistoryStore.chunkOffset(chunk);
+
+        readScratch(base, SalesHistoryStore.ZONE_BYTES);
+        minProduct = scratch.getInt(SalesHistoryStore.MIN_PRODUCT_OFFSET);
+        maxProduct = scratch.getInt(SalesHistoryStore.MAX_PRODUCT_OFFSET);
+        minQuantity = scratch.getInt(SalesHistoryStore.MIN_QUANTITY_OFFSET);
+        maxQuantity = scratch.getInt(SalesHistoryStore.MAX_QUANTITY_OFFSET);
+        minUnitCost = scratch.getDouble(SalesHistoryStore.MIN_UNIT_COST_OFFSET);
+        maxUnitCost = scratch.getDouble(SalesHistoryStore.MAX_UNIT_COST_OFFSET);
+        minCash = scratch.getDouble(SalesHistoryStore.MIN_CASH_OFFSET);
+        maxCash = scratch.getDouble(SalesHistoryStore.MAX_CASH_OFFSET);
+        minChange = scratch.getDouble(SalesHistoryStore.MIN_CHANGE_OFFSET);
+        maxChange = scratch.getDouble(SalesHistoryStore.MAX_CHANGE_OFFSET);
+        minBalance = scratch.getDouble(SalesHistoryStore.MIN_BALANCE_OFFSET);
+        maxBalance = scratch.getDouble(SalesHistoryStore.MAX_BALANCE_OFFSET);
+
+        readScratch(base + SalesHistoryStore.PRODUCT_OFFSET, Integer.BYTES * count);
+        scratch.asIntBuffer().get(product, 0, count);
+        readScratch(base + SalesHistoryStore.QUANTITY_OFFSET, Integer.BYTES * count);
+        scratch.asIntBuffer().get(quantity, 0, count);
+        readScratch(base + SalesHistoryStore.UNIT_COST_OFFSET, Double.BYTES * count);
+        scratch.asDoubleBuffer().get(unitCost, 0, count);
+        readScratch(base + SalesHistoryStore.CASH_OFFSET, Double.BYTES * count);
+        scratch.asDoubleBuffer().get(cash, 0, count);
+        readScratch(base + SalesHistoryStore.CHANGE_OFFSET, Double.BYTES * count);
+        scratch.asDoubleBuffer().get(change, 0, count);
+        readScratch(base + SalesHistoryStore.BALANCE_OFFSET, Double.BYTES * count);
+        scratch.asDoubleBuffer().get(balance, 0, count);
+
+        rows = count;
+        flushedRows = count; // Already on disk
+    }
+
+    /**
+     * Resets the zone maps so that the first sale of a chunk sets them.
+     *
+     * Written by: agent
+     */
+    private void resetZoneMaps() {
+        minProduct = Integer.MAX_VALUE;
+        maxProduct = Integer.MIN_VALUE;
+        minQuantity = Integer.MAX_VALUE;
+        maxQuantity = Integer.MIN_VALUE;
+        minUnitCost = minCash = minChange = minBalance = Double.POSITIVE_INFINITY;
+        maxUnitCost = maxCash = maxChange = maxBalance = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Writes the file header.
+     *
+     * Written by: agent
+     *
+     * @param chunkCount the number of chunks holding sales
+     * @param rowCount the total number of sales
+     * @throws IOException if the header cannot be written
+     */
+    private void writeHeader(int chunkCount, long rowCount) throws IOException {
+        scratch.clear();
+        scratch.putInt(0, SalesHistoryStore.MAGIC);
+        scratch.putInt(4, SalesHistoryStore.VERSION);
+        scratch.putInt(8, CHUNK_ROWS);
+        scratch.putInt(SalesHistoryStore.CHUNK_COUNT_OFFSET, chunkCount);
+        scratch.putLong(SalesHistoryStore.ROW_COUNT_OFFSET, rowCount);
+        scratch.putLong(24, 0L); // Padding
+        writeScratch(0, SalesHistoryStore.HEADER_BYTES);
+    }
+
+    /**
+     * Reads a single int from the file.
+     *
+     * Written by: agent
+     *
+     * @param position the file position to read from
+     * @return the value read
+     * @throws IOException if the file cannot be read
+     */
+    private int readInt(long position) throws IOException {
+        readScratch(position, Integer.BYTES);
+        return scratch.getInt(0);
+    }
+
+    /**
+     * Writes the first bytes of the scratch buffer to the file.
+     *
+     * Written by: agent
+     *
+     * @param position the file position to write at
+     * @param length the number of bytes to write
+     * @throws IOException if the file cannot be written
+     */
+    private void writeScratch(long position, int length) throws IOException {
+        scratch.clear().limit(length);
+        while (scratch.hasRemaining()) {
+            channel.write(scratch, position + scratch.position());
+        }
+        scratch.clear();
+    }
+
+    /**
+     * Fills the first bytes of the scratch buffer from the file.
+     *
+     * Written by: agent
+     *
+     * @param position the file position to read from
+     * @param length the number of bytes to read
+     * @throws IOException if the file cannot be read
+     */
+    private void readScratch(long position, int length) throws IOException {
+        scratch.clear().limit(length);
+        while (scratch.hasRemaining()) {
+            if (channel.read(scratch, position + scratch.position()) < 0) {
+                throw new IOException("Sale history file is truncated.");
+            }
+        }
+        scratch.clear();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+============================================================================================
+FILE : SalesReconciliation.java
+AUTHOR : agent
+DESCRIPTION : Reconciles the register and dispensers against the sale history.
+COPYRIGHT : 2026
+REVISION HISTORY
+Date:           By:             		Description:
+10/19/2026      agent          			End-of-day reconciliation built
+============================================================================================
+*/
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The SalesReconciliation class recomputes the register float and the stock of every
+ * dispenser from the sale history and compares them with the live CashRegister and
+ * DispenserType objects. Every sale is also checked on its own: its price, its change and
+ * the register balance recorded after it must agree with the sale before it.
+ *
+ * The history is split by chunk across a fork-join pool. Each task keeps its own totals
+ * and discrepancy list, which are merged at the end, so worker threads share nothing.
+ * Money is summed in whole centavos so that long histories do not drift.
+ */
+public class SalesReconciliation {
+    private final SalesHistoryStore store; // Sale history to reconcile against
+    private final ForkJoinPool pool; // Pool the reconciliation runs in
+
+    /**
+     * Constructor that runs the reconciliation in the common fork-join pool.
+     *
+     * Written by: agent
+     *
+     * @param store the sale history to reconcile against
+     */
+    public SalesReconciliation(SalesHistoryStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor that runs the reconciliation in the given fork-join pool.
+     *
+     * Written by: agent
+     *
+     * @param store the sale history to reconcile against
+     * @param pool the pool to run the reconciliation in
+     */
+    public SalesReconciliation(SalesHistoryStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    /**
+     * Reconciles the register and dispensers against the sales recorded from a given row on.
+     * Juice ID n in the history belongs to dispensers[n - 1].
+     *
+     * Written by: agent
+     *
+     * @param fromRow the row number of the first sale of the period
+     * @param openingFloat the register balance at the start of the period
+     * @param openingStock the stock of each dispenser at the start of the period
+     * @param register the register to check
+     * @param dispensers the dispensers to check
+     * @return the reconciliation report
+     */
+    public ReconciliationReport reconcile(long fromRow, double openingFloat, int[] openingStock, CashRegister register, DispenserType[] dispensers) {
+        if (openingStock.length != dispensers.length) {
+            throw new IllegalArgumentException("An opening stock is needed for every dispenser.");
+        }
+
+        int products = dispensers.length;
+        long openingCents = toCents(openingFloat);
+        long[] priceCents = new long[products];
+        for (int d = 0; d < products; d++) {
+            priceCents[d] = toCents(dispensers[d].getCost()); // Price each sale must match
+        }
+
+        Partial total = pool.invoke(new SalesHistoryQuery.ChunkTask<>(store.getChunkCount(), new SalesHistoryQuery.ChunkAggregate<Partial>() {
+            @Override
+            Partial identity() {
+                return new Partial(products);
+            }
+
+            @Override
+            Partial scan(int chunk) {
+                return scanChunk(chunk, fromRow, openingCents, priceCents);
+            }
+
+            @Override
+            Partial merge(Partial left, Partial right) {
+                left.revenueCents += right.revenueCents;
+                for (int d = 0; d < products; d++) {
+                    left.sold[d] += right.sold[d];
+                }
+                left.discrepancies.addAll(right.discrepancies); // Keeps history order
+                return left;
+            }
+        }));
+
+        // Compare what the history expects with what is actually there
+        int[] expectedStock = new int[products];
+        int[] actualStock = new int[products];
+        for (int d = 0; d < products; d++) {
+            expectedStock[d] = (int) (openingStock[d] - total.sold[d]);
+            actualStock[d] = dispensers[d].getNoOfItems();
+        }
+
+        return new ReconciliationReport(openingCents + total.revenueCents, toCents(register.getCurrentBalance()), expectedStock, actualStock, total.discrepancies);
+    }
+
+    /**
+     * Totals and checks the sales of a single chunk.
+     *
+     * Written by: agent
+     *
+     * @param chunk the chunk index
+     * @param fromRow the row number of the first sale of the period
+     * @param openingCents the register balance at the start of the period, in centavos
+     * @param priceCents the price of each dispenser, in centavos
+     * @return the chunk's totals and discrepancies
+     */
+    private Partial scanChunk(int chunk, long fromRow, long openingCents, long[] priceCents) {
+        Partial partial = new Partial(priceCents.length);
+        long firstRow = store.getFirstRow(chunk);
+        int rows = store.getRows(chunk);
+        if (firstRow + rows <= fromRow) {
+            return partial; // Chunk lies before the period
+        }
+
+        IntBuffer product = store.productColumn(chunk);
+        IntBuffer quantity = store.quantityColumn(chunk);
+        DoubleBuffer unitCost = store.unitCostColumn(chunk);
+        DoubleBuffer cash = store.cashColumn(chunk);
+        DoubleBuffer change = store.changeColumn(chunk);
+        DoubleBuffer balance = store.balanceColumn(chunk);
+
+        // Balance before the first sale scanned, taken from the sale just before it
+        int start = (int) Math.max(0, fromRow - firstRow);
+        long previousBalance;
+        if (firstRow + start == fromRow) {
+            previousBalance = openingCents;
+        } else if (start > 0) {
+            previousBalance = toCents(balance.get(start - 1));
+        } else {
+            previousBalance = toCents(store.balanceColumn(chunk - 1).get(SalesHistoryStore.CHUNK_ROWS - 1));
+        }
+
+        for (int i = start; i < rows; i++) {
+            long row = firstRow + i;
+            int juice = product.get(i) - 1; // Juice IDs start at 1
+            int count = quantity.get(i);
+            long costCents = Math.round(count * unitCost.get(i) * 100);
+            long cashCents = toCents(cash.get(i));
+            long changeCents = toCents(change.get(i));
+            long balanceCents = toCents(balance.get(i));
+
+            partial.revenueCents += costCents;
+
+            if (juice < 0 || juice >= priceCents.length) {
+                partial.add(row, "unknown juice ID " + (juice + 1));
+            } else {
+                partial.sold[juice] += count;
+                if (toCents(unitCost.get(i)) != priceCents[juice]) {
+                    partial.add(row, "charged " + pesos(toCents(unitCost.get(i))) + " each, dispenser price is " + pesos(priceCents[juice]));
+                }
+            }
+
+            if (cashCents < costCents) {
+                partial.add(row, "cash tendered " + pesos(cashCents) + " is below the cost of " + pesos(costCents));
+            }
+
+            // Round the expected change from the raw difference, the same way the change was
+            // computed at the till, so fractional-centavo cash does not look like an error
+            long expectedChangeCents = toCents(cash.get(i) - count * unitCost.get(i));
+            if (changeCents != expectedChangeCents) {
+                partial.add(row, "change given " + pesos(changeCents) + ", should be " + pesos(expectedChangeCents));
+            }
+            if (balanceCents != previousBalance + costCents) {
+                partial.add(row, "register balance " + pesos(balanceCents) + ", should be " + pesos(previousBalance + costCents));
+            }
+
+            previousBalance = balanceCents; // Check the next sale against what was recorded
+        }
+        return partial;
+    }
+
+    /**
+     * Rounds an amount in pesos to whole centavos.
+     *
+     * Written by: agent
+     *
+     * @param amount the amount in pesos
+     * @return the amount in centavos
+     */
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Formats an amount in centavos for a discrepancy message.
+     *
+     * Written by: agent
+     *
+     * @param cents the amount in centavos
+     * @return the formatted amount
+     */
+    private static String pesos(long cents) {
+        return String.format("Php. %.2f", cents / 100.0);
+    }
+
+    /**
+     * The Partial class holds the totals and discrepancies of one range of chunks.
+     * Each fork-join task fills its own instance, so no locking is needed.
+     */
+    private static class Partial {
+        private long revenueCents; // Revenue of the range, in centavos
+        private final long[] sold; // Items sold per dispenser
+        private final List<ReconciliationReport.Discrepancy> discrepancies = new ArrayList<>(); // Sales that do not add up
+
+        /**
+         * Constructor that starts empty totals.
+         *
+         * Written by: agent
+         *
+         * @param products the number of dispensers
+         */
+        Partial(int products) {
+            sold = new long[products];
+        }
+
+        /**
+         * Records a sale that does not add up.
+         *
+         * Written by: agent
+         *
+         * @param row the row number of the sale
+         * @param reason what does not add up
+         */
+        void add(long row, String reason) {
+            discrepancies.add(new ReconciliationReport.Discrepancy(row, reason));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+============================================================================================
+FILE : SalesReconciliationBenchmark.java
+AUTHOR : agent
+DESCRIPTION : Times the end-of-day reconciliation over a large generated sale history.
+COPYRIGHT : 2026
+REVISION HISTORY
+Date:           By:             		Description:
+10/19/2026      agent          			Reconciliation benchmark built
+============================================================================================
+*/
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * The SalesReconciliationBenchmark class generates a balanced sale history in a temporary
+ * file, then times SalesReconciliation over it. Run it with the number of sales as the only
+ * argument (20,000,000 by default). The generated file takes about 40 bytes per sale.
+ */
+public class SalesReconciliationBenchmark {
+
+    /**
+     * The main method that builds the history and prints the reconciliation time.
+     *
+     * Written by: agent
+     *
+     * @param args the number of sales to generate (optional)
+     * @throws IOException if the temporary history cannot be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        int sales = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int[] openingStock = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        DispenserType[] dispensers = {
+            new DispenserType(openingStock[0], 70.00),
+            new DispenserType(openingStock[1], 60.00),
+            new DispenserType(openingStock[2], 75.00),
+            new DispenserType(openingStock[3], 80.00)
+        };
+        CashRegister register = new CashRegister();
+        double openingFloat = register.getCurrentBalance();
+
+        Path file = Files.createTempFile("sales-history", ".dat");
+        try {
+            // Record sales exactly as the machine would, so the history balances
+            Random random = new Random(1);
+            try (SalesHistoryWriter writer = SalesHistoryWriter.open(file)) {
+                for (int i = 0; i < sales; i++) {
+                    int juice = random.nextInt(dispensers.length);
+                    int count = 1 + random.nextInt(5);
+                    double cost = count * dispensers[juice].getCost();
+                    double cash = cost + 5 * random.nextInt(3);
+
+                    dispensers[juice].makeSale(count);
+                    register.acceptAmount(cost);
+                    writer.append(juice + 1, count, dispensers[juice].getCost(), cash, cash - cost, register.getCurrentBalance());
+                }
+            }
+
+            try (SalesHistoryStore store = SalesHistoryStore.open(file)) {
+                long start = System.nanoTime();
+                ReconciliationReport report = new SalesReconciliation(store).reconcile(0, openingFloat, openingStock, register, dispensers);
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("Reconciled %,d sales in %.1f ms (balanced: %b)%n", sales, elapsed / 1e6, report.isBalanced());
+            }
+        } finally {
+            Files.deleteIfExists(file); // Remove the generated history
+        }
+    }
+}